@@ -46,7 +46,7 @@ public class SpringSecurityConfig {
     public SecurityFilterChain filterChain(HttpSecurity httpSecurity) throws Exception {
         return httpSecurity
                 .authorizeHttpRequests(conf -> conf
-                        .requestMatchers("/api/auth/**").permitAll()
+                        .requestMatchers("/api/auth/**", "/.well-known/jwks.json").permitAll()
                         .anyRequest().authenticated()
                 )
                 .formLogin(conf -> conf
@@ -0,0 +1,37 @@
+package org.gzu.adminbackend.controller;
+
+import jakarta.annotation.Resource;
+import org.gzu.adminbackend.util.JwtKeyring;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @description 发布JWT验签公钥, 下游服务缓存后可本地验证token; 携带If-None-Match时由Spring MVC返回304
+ * @classname JwksController
+ * @date 10/19/2026 2:40 PM
+ * @created by LIONS7
+ */
+@RestController
+public class JwksController {
+
+    @Resource
+    private JwtKeyring jwtKeyring;
+
+    @Value("${spring.security.jwt.jwks.max-age:3600}")
+    private long maxAge;
+
+    @GetMapping(value = "/.well-known/jwks.json", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<String> jwks() {
+        JwtKeyring.Jwks jwks = jwtKeyring.jwks();
+        return ResponseEntity.ok()
+                .eTag(jwks.etag())
+                .cacheControl(CacheControl.maxAge(maxAge, TimeUnit.SECONDS).cachePublic())
+                .body(jwks.json());
+    }
+}
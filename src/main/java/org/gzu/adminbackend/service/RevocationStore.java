@@ -0,0 +1,30 @@
+package org.gzu.adminbackend.service;
+
+import java.util.Date;
+
+/**
+ * @description JWT吊销存储(黑名单), 通过 spring.security.jwt.revocation.type 选择实现
+ * @classname RevocationStore
+ * @date 10/19/2026 10:05 AM
+ * @created by LIONS7
+ */
+public interface RevocationStore {
+
+    /**
+     * @Description: 判断JWT是否已被吊销
+     * @param jwtId JWT的id
+     * @Return: 是否已吊销
+     * @Author: lions
+     * @Datetime: 10/19/2026 10:05 AM
+     */
+    boolean isRevoked(String jwtId);
+
+    /**
+     * @Description: 吊销JWT, 记录保留至JWT自身过期
+     * @param jwtId JWT的id
+     * @param expiresAt JWT过期时间
+     * @Author: lions
+     * @Datetime: 10/19/2026 10:06 AM
+     */
+    void revoke(String jwtId, Date expiresAt);
+}
@@ -0,0 +1,381 @@
+package org.gzu.adminbackend.service.impl;
+
+import jakarta.annotation.PreDestroy;
+import org.gzu.adminbackend.service.RevocationStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Date;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * @description 基于内存映射文件的JWT黑名单, 适用于无Redis的单节点/边缘部署.
+ * 文件即开放寻址(线性探测)哈希表, 重启后直接映射使用无需重新加载.
+ * 槽位只保存jti的64位哈希与过期时间, 查询不产生对象分配. 文件持有独占锁, 仅允许单进程使用.
+ * @classname MappedFileRevocationStore
+ * @date 10/19/2026 10:20 AM
+ * @created by LIONS7
+ */
+@Service
+@ConditionalOnProperty(name = "spring.security.jwt.revocation.type", havingValue = "file")
+public class MappedFileRevocationStore implements RevocationStore {
+
+    // 文件头: magic(4) version(4) capacity(4) size(4) 保留(16)
+    private static final int MAGIC = 0x4A575452;
+
+    private static final int VERSION = 1;
+
+    private static final int CAPACITY_OFFSET = 8;
+
+    private static final int SIZE_OFFSET = 12;
+
+    private static final int HEADER_SIZE = 32;
+
+    // 槽位: jti哈希(8) 过期时间戳ms(8), 哈希为0表示空槽
+    private static final int SLOT_SIZE = 16;
+
+    private static final long EMPTY = 0L;
+
+    private static final int MAX_CAPACITY = 1 << 26;
+
+    private final Path path;
+
+    private final StampedLock lock = new StampedLock();
+
+    private FileChannel channel;
+
+    private volatile MappedByteBuffer table;
+
+    // 上次刷盘后是否有写入, 由写锁保护
+    private boolean dirty;
+
+    public MappedFileRevocationStore(
+            @Value("${spring.security.jwt.revocation.file.path:./data/jwt-revocation.dat}") String path,
+            @Value("${spring.security.jwt.revocation.file.capacity:65536}") int initialCapacity) throws IOException {
+        this.path = Path.of(path).toAbsolutePath();
+        Path parent = this.path.getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.open(tableSizeFor(initialCapacity));
+    }
+
+    @Override
+    public boolean isRevoked(String jwtId) {
+        long hash = hash(jwtId);
+        long now = System.currentTimeMillis();
+        long stamp = lock.tryOptimisticRead();
+        boolean revoked = this.find(table, hash, now);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                revoked = this.find(table, hash, now);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return revoked;
+    }
+
+    @Override
+    public void revoke(String jwtId, Date expiresAt) {
+        long hash = hash(jwtId);
+        long stamp = lock.writeLock();
+        try {
+            MappedByteBuffer buffer = table;
+            int capacity = capacityOf(buffer);
+            if ((buffer.getInt(SIZE_OFFSET) + 1) * 2 > capacity) {
+                this.doCompact(buffer, System.currentTimeMillis());
+                // 清理后负载未降到3/8以下则直接扩容, 避免在阈值附近每次写入都全表扫描
+                if ((buffer.getInt(SIZE_OFFSET) + 1) * 8 > capacity * 3) {
+                    buffer = this.grow(buffer, capacity << 1);
+                }
+            }
+            insert(buffer, hash, expiresAt.getTime());
+            dirty = true;
+        } catch (IOException e) {
+            throw new IllegalStateException("JWT黑名单文件扩容失败: " + path, e);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * @Description: 定期清理已过期的槽位, 并将上次刷盘后的写入落盘
+     * @Author: lions
+     * @Datetime: 10/19/2026 10:32 AM
+     */
+    @Scheduled(fixedDelayString = "${spring.security.jwt.revocation.compact-interval:60000}")
+    public void compact() {
+        long stamp = lock.writeLock();
+        try {
+            if (this.doCompact(table, System.currentTimeMillis()) > 0) {
+                dirty = true;
+            }
+            if (dirty) {
+                table.force();
+                dirty = false;
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        long stamp = lock.writeLock();
+        try {
+            table.force();
+            dirty = false;
+            channel.close();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * @Description: 打开或初始化映射文件
+     * @param initialCapacity 新建文件时的槽位数
+     * @Author: lions
+     * @Datetime: 10/19/2026 10:24 AM
+     */
+    private void open(int initialCapacity) throws IOException {
+        channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        lockOrFail(channel);
+        long fileSize = channel.size();
+        if (fileSize == 0) {
+            table = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileSizeOf(initialCapacity));
+            writeHeader(table, initialCapacity);
+            table.force();
+            return;
+        }
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize);
+        int capacity = buffer.getInt(CAPACITY_OFFSET);
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION
+                || Integer.bitCount(capacity) != 1 || fileSizeOf(capacity) != fileSize) {
+            channel.close();
+            throw new IllegalStateException("JWT黑名单文件格式不正确: " + path);
+        }
+        table = buffer;
+    }
+
+    /**
+     * @Description: 扩容, 先写入临时文件再原子替换, 避免中途崩溃丢失记录
+     * @param buffer 当前映射
+     * @param newCapacity 新槽位数
+     * @Return: 新映射
+     * @Author: lions
+     * @Datetime: 10/19/2026 10:28 AM
+     */
+    private MappedByteBuffer grow(MappedByteBuffer buffer, int newCapacity) throws IOException {
+        if (newCapacity > MAX_CAPACITY) {
+            throw new IllegalStateException("JWT黑名单已达容量上限: " + MAX_CAPACITY);
+        }
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        FileChannel newChannel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer newBuffer;
+        try {
+            lockOrFail(newChannel);
+            newBuffer = newChannel.map(FileChannel.MapMode.READ_WRITE, 0, fileSizeOf(newCapacity));
+            writeHeader(newBuffer, newCapacity);
+            int capacity = capacityOf(buffer);
+            for (int i = 0; i < capacity; i++) {
+                long hash = buffer.getLong(slotOffset(i));
+                if (hash != EMPTY) {
+                    insert(newBuffer, hash, buffer.getLong(slotOffset(i) + 8));
+                }
+            }
+            newBuffer.force();
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            newChannel.close();
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+        channel.close();
+        channel = newChannel;
+        table = newBuffer;
+        return newBuffer;
+    }
+
+    /**
+     * @Description: 线性探测查找未过期的记录
+     * @param buffer 当前映射
+     * @param hash jti哈希
+     * @param now 当前时间戳
+     * @Return: 是否已吊销
+     * @Author: lions
+     * @Datetime: 10/19/2026 10:26 AM
+     */
+    private boolean find(MappedByteBuffer buffer, long hash, long now) {
+        int capacity = capacityOf(buffer);
+        int mask = capacity - 1;
+        int index = (int) hash & mask;
+        // 乐观读期间表可能被并发修改, 限制探测次数保证终止
+        for (int probe = 0; probe < capacity; probe++) {
+            int offset = slotOffset(index);
+            long slotHash = buffer.getLong(offset);
+            if (slotHash == EMPTY) {
+                return false;
+            }
+            if (slotHash == hash) {
+                return buffer.getLong(offset + 8) > now;
+            }
+            index = (index + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * @Description: 清除已过期的槽位, 采用后移删除保持探测链连续而不留墓碑
+     * @param buffer 当前映射
+     * @param now 当前时间戳
+     * @Return: 清除数量
+     * @Author: lions
+     * @Datetime: 10/19/2026 10:30 AM
+     */
+    private int doCompact(MappedByteBuffer buffer, long now) {
+        int capacity = capacityOf(buffer);
+        int mask = capacity - 1;
+        int removed = 0;
+        int i = 0;
+        while (i < capacity) {
+            int offset = slotOffset(i);
+            if (buffer.getLong(offset) != EMPTY && buffer.getLong(offset + 8) <= now) {
+                // 后移的记录会填入当前槽位, 需重新检查
+                int hole = i;
+                int j = i;
+                while (true) {
+                    j = (j + 1) & mask;
+                    long hash = buffer.getLong(slotOffset(j));
+                    if (hash == EMPTY) {
+                        break;
+                    }
+                    int home = (int) hash & mask;
+                    boolean stays = hole <= j ? (hole < home && home <= j) : (hole < home || home <= j);
+                    if (!stays) {
+                        buffer.putLong(slotOffset(hole) + 8, buffer.getLong(slotOffset(j) + 8));
+                        buffer.putLong(slotOffset(hole), hash);
+                        hole = j;
+                    }
+                }
+                buffer.putLong(slotOffset(hole), EMPTY);
+                buffer.putLong(slotOffset(hole) + 8, 0L);
+                buffer.putInt(SIZE_OFFSET, buffer.getInt(SIZE_OFFSET) - 1);
+                removed++;
+            } else {
+                i++;
+            }
+        }
+        return removed;
+    }
+
+    private static void insert(MappedByteBuffer buffer, long hash, long expiresAt) {
+        int mask = capacityOf(buffer) - 1;
+        int index = (int) hash & mask;
+        while (true) {
+            int offset = slotOffset(index);
+            long slotHash = buffer.getLong(offset);
+            if (slotHash == hash) {
+                buffer.putLong(offset + 8, Math.max(expiresAt, buffer.getLong(offset + 8)));
+                return;
+            }
+            if (slotHash == EMPTY) {
+                buffer.putLong(offset + 8, expiresAt);
+                buffer.putLong(offset, hash);
+                buffer.putInt(SIZE_OFFSET, buffer.getInt(SIZE_OFFSET) + 1);
+                return;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    /**
+     * @Description: 独占文件锁, 防止多个进程同时写同一张表
+     * @param channel 文件通道
+     * @Author: lions
+     * @Datetime: 10/20/2026 9:40 AM
+     */
+    private void lockOrFail(FileChannel channel) throws IOException {
+        FileLock fileLock;
+        try {
+            fileLock = channel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            fileLock = null;
+        }
+        if (fileLock == null) {
+            channel.close();
+            throw new IllegalStateException("JWT黑名单文件已被其他进程占用: " + path);
+        }
+    }
+
+    boolean dirty() {
+        return dirty;
+    }
+
+    int size() {
+        return table.getInt(SIZE_OFFSET);
+    }
+
+    int capacity() {
+        return capacityOf(table);
+    }
+
+    private static void writeHeader(MappedByteBuffer buffer, int capacity) {
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, VERSION);
+        buffer.putInt(CAPACITY_OFFSET, capacity);
+        buffer.putInt(SIZE_OFFSET, 0);
+    }
+
+    /**
+     * @Description: 计算jti的64位哈希(FNV-1a + murmur3 finalizer), 逐字符计算不产生分配
+     * @param jwtId JWT的id
+     * @Return: 非0哈希值
+     * @Author: lions
+     * @Datetime: 10/19/2026 10:22 AM
+     */
+    static long hash(String jwtId) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < jwtId.length(); i++) {
+            h ^= jwtId.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h == EMPTY ? 1L : h;
+    }
+
+    private static int capacityOf(MappedByteBuffer buffer) {
+        return (buffer.capacity() - HEADER_SIZE) / SLOT_SIZE;
+    }
+
+    private static int slotOffset(int index) {
+        return HEADER_SIZE + index * SLOT_SIZE;
+    }
+
+    private static long fileSizeOf(int capacity) {
+        return HEADER_SIZE + (long) capacity * SLOT_SIZE;
+    }
+
+    private static int tableSizeFor(int capacity) {
+        int size = Integer.highestOneBit(Math.max(16, Math.min(capacity, MAX_CAPACITY)));
+        return size < capacity && size < MAX_CAPACITY ? size << 1 : size;
+    }
+}
@@ -0,0 +1,52 @@
+package org.gzu.adminbackend.service.impl;
+
+import org.gzu.adminbackend.service.RevocationStore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @description 纯内存JWT黑名单, 适用于单节点部署, 重启后丢失
+ * @classname MemoryRevocationStore
+ * @date 10/19/2026 10:15 AM
+ * @created by LIONS7
+ */
+@Service
+@ConditionalOnProperty(name = "spring.security.jwt.revocation.type", havingValue = "memory")
+public class MemoryRevocationStore implements RevocationStore {
+
+    /**
+     * jwtId -> 过期时间戳(ms)
+     */
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean isRevoked(String jwtId) {
+        Long expiresAt = revoked.get(jwtId);
+        return expiresAt != null && expiresAt > System.currentTimeMillis();
+    }
+
+    @Override
+    public void revoke(String jwtId, Date expiresAt) {
+        revoked.merge(jwtId, expiresAt.getTime(), Math::max);
+    }
+
+    /**
+     * @Description: 定期清理已过期的记录
+     * @Author: lions
+     * @Datetime: 10/19/2026 10:18 AM
+     */
+    @Scheduled(fixedDelayString = "${spring.security.jwt.revocation.compact-interval:60000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        revoked.values().removeIf(expiresAt -> expiresAt <= now);
+    }
+
+    boolean contains(String jwtId) {
+        return revoked.containsKey(jwtId);
+    }
+}
@@ -0,0 +1,37 @@
+package org.gzu.adminbackend.service.impl;
+
+import jakarta.annotation.Resource;
+import org.gzu.adminbackend.costant.RedisConstant;
+import org.gzu.adminbackend.service.RevocationStore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @description 基于Redis的JWT黑名单(默认实现)
+ * @classname RedisRevocationStore
+ * @date 10/19/2026 10:10 AM
+ * @created by LIONS7
+ */
+@Service
+@ConditionalOnProperty(name = "spring.security.jwt.revocation.type", havingValue = "redis", matchIfMissing = true)
+public class RedisRevocationStore implements RevocationStore {
+
+    @Resource
+    StringRedisTemplate stringRedisTemplate;
+
+    @Override
+    public boolean isRevoked(String jwtId) {
+        return Boolean.TRUE.equals(stringRedisTemplate.hasKey(RedisConstant.JWT_BLACK_LIST_PREFIX + jwtId));
+    }
+
+    @Override
+    public void revoke(String jwtId, Date expiresAt) {
+        long expire = Math.max(0, expiresAt.getTime() - System.currentTimeMillis());
+        stringRedisTemplate.opsForValue()
+                .set(RedisConstant.JWT_BLACK_LIST_PREFIX + jwtId, "sth", expire, TimeUnit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,477 @@
+package org.gzu.adminbackend.util;
+
+import com.alibaba.fastjson2.JSON;
+import com.alibaba.fastjson2.JSONWriter;
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTCreator;
+import com.auth0.jwt.JWTVerifier;
+import com.auth0.jwt.algorithms.Algorithm;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.MessageDigest;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @description JWT签名密钥环. HS256模式沿用共享密钥; ES256模式下密钥按kid轮换,
+ * 新密钥先以PENDING状态发布到JWKS, 下次轮换才用于签名, 退役密钥保留一个JWT有效期以验证在途token.
+ * 多节点共享同一密钥环文件时只允许一个节点(keyring.rotate=true)轮换写入, 其余节点在文件变更后重新加载.
+ * 轮换节点持有同目录下 .lock 文件的独占锁, 第二个轮换节点启动即失败
+ * @classname JwtKeyring
+ * @date 10/19/2026 2:10 PM
+ * @created by LIONS7
+ */
+@Component
+public class JwtKeyring {
+
+    public static final String HS256 = "HS256";
+
+    public static final String ES256 = "ES256";
+
+    private final String algorithm;
+
+    private final long retainMillis;
+
+    private final Path path;
+
+    private final long rotateInterval;
+
+    private final boolean rotator;
+
+    private volatile Snapshot snapshot;
+
+    private FileTime loadedModifiedTime;
+
+    private FileChannel lockChannel;
+
+    public JwtKeyring(@Value("${spring.security.jwt.algorithm:HS256}") String algorithm,
+                      @Value("${spring.security.jwt.secretkey}") String secretKey,
+                      @Value("${spring.security.jwt.expire}") int expire,
+                      @Value("${spring.security.jwt.keyring.path:./data/jwt-keyring.json}") String path,
+                      @Value("${spring.security.jwt.keyring.rotate-interval:86400000}") long rotateInterval,
+                      @Value("${spring.security.jwt.keyring.check-interval:60000}") long checkInterval,
+                      @Value("${spring.security.jwt.keyring.rotate:true}") boolean rotator) {
+        this.algorithm = algorithm.toUpperCase(Locale.ROOT);
+        // 其他节点最多滞后一个check-interval才感知轮换, 期间仍用旧ACTIVE密钥签发, 保留期需覆盖这段时间
+        this.retainMillis = TimeUnit.HOURS.toMillis(expire) + checkInterval;
+        this.path = Path.of(path).toAbsolutePath();
+        this.rotateInterval = rotateInterval;
+        this.rotator = rotator;
+        switch (this.algorithm) {
+            case HS256 -> this.snapshot = Snapshot.hmac(Algorithm.HMAC256(secretKey));
+            case ES256 -> {
+                if (rotator) {
+                    this.lockOrFail();
+                }
+                this.snapshot = Snapshot.of(this.loadOrCreate());
+                this.refresh();
+            }
+            default -> throw new IllegalStateException("不支持的JWT签名算法: " + algorithm);
+        }
+    }
+
+    /**
+     * @Description: 使用当前签名密钥签发, ES256模式下写入kid头
+     * @param builder JWT构建器
+     * @Return: JWT
+     * @Author: lions
+     * @Datetime: 10/19/2026 2:14 PM
+     */
+    public String sign(JWTCreator.Builder builder) {
+        Snapshot current = snapshot;
+        if (current.kid != null) {
+            builder.withKeyId(current.kid);
+        }
+        return builder.sign(current.signer);
+    }
+
+    /**
+     * @Description: 按kid获取缓存的验证器
+     * @param kid JWT头中的kid
+     * @Return: 验证器, kid未知时返回null
+     * @Author: lions
+     * @Datetime: 10/19/2026 2:15 PM
+     */
+    public JWTVerifier verifier(String kid) {
+        Snapshot current = snapshot;
+        if (current.kid == null) {
+            return current.hmacVerifier;
+        }
+        return kid == null ? null : current.verifiers.get(kid);
+    }
+
+    /**
+     * @Description: JWKS公钥集合, HS256模式下为空集合
+     * @Return: JWKS
+     * @Author: lions
+     * @Datetime: 10/19/2026 2:16 PM
+     */
+    public Jwks jwks() {
+        return snapshot.jwks;
+    }
+
+    /**
+     * @Description: 定期检查密钥环: 轮换节点在ACTIVE密钥启用满rotate-interval后轮换, 其余节点在文件变更后重新加载
+     * @Author: lions
+     * @Datetime: 10/20/2026 10:10 AM
+     */
+    @Scheduled(fixedDelayString = "${spring.security.jwt.keyring.check-interval:60000}")
+    public synchronized void refresh() {
+        if (!ES256.equals(algorithm)) {
+            return;
+        }
+        if (rotator) {
+            if (System.currentTimeMillis() - snapshot.activatedAt >= rotateInterval) {
+                this.rotate();
+            }
+            return;
+        }
+        try {
+            if (!Files.getLastModifiedTime(path).equals(loadedModifiedTime)) {
+                snapshot = Snapshot.of(this.load());
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("JWT密钥环读取失败: " + path, e);
+        }
+    }
+
+    /**
+     * @Description: 轮换密钥: PENDING转为ACTIVE, 原ACTIVE退役, 生成新的PENDING, 清理超出保留期的退役密钥
+     * @Author: lions
+     * @Datetime: 10/19/2026 2:18 PM
+     */
+    public synchronized void rotate() {
+        if (!ES256.equals(algorithm)) {
+            return;
+        }
+        if (!rotator) {
+            throw new IllegalStateException("当前节点未开启密钥轮换: spring.security.jwt.keyring.rotate=false");
+        }
+        long now = System.currentTimeMillis();
+        List<KeyEntry> entries = new ArrayList<>();
+        for (KeyEntry entry : snapshot.entries) {
+            if (KeyEntry.RETIRED.equals(entry.getStatus())) {
+                if (entry.getRetiredAt() + retainMillis > now) {
+                    entries.add(entry);
+                }
+                continue;
+            }
+            KeyEntry copy = entry.copy();
+            if (KeyEntry.ACTIVE.equals(entry.getStatus())) {
+                copy.setStatus(KeyEntry.RETIRED);
+                copy.setRetiredAt(now);
+            } else {
+                copy.setStatus(KeyEntry.ACTIVE);
+                copy.setActivatedAt(now);
+            }
+            entries.add(copy);
+        }
+        if (entries.stream().noneMatch(e -> KeyEntry.ACTIVE.equals(e.getStatus()))) {
+            // 没有可提升的PENDING密钥(手工编辑或旧格式文件), 直接生成ACTIVE密钥, 其他节点在下次重新加载前不认识它
+            KeyEntry active = KeyEntry.generate(KeyEntry.ACTIVE);
+            active.setActivatedAt(now);
+            entries.add(active);
+        }
+        entries.add(KeyEntry.generate(KeyEntry.PENDING));
+        // 先构建快照校验, 成功后再落盘, 避免写出不可用的密钥环
+        Snapshot rotated = Snapshot.of(entries);
+        this.save(entries);
+        snapshot = rotated;
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        if (lockChannel != null) {
+            lockChannel.close();
+            lockChannel = null;
+        }
+    }
+
+    /**
+     * @Description: 轮换节点独占 .lock 文件, 防止多个节点同时轮换互相覆盖密钥环
+     * @Author: lions
+     * @Datetime: 10/21/2026 9:30 AM
+     */
+    private void lockOrFail() {
+        Path lockPath = path.resolveSibling(path.getFileName() + ".lock");
+        try {
+            this.createParentDirectory();
+            FileChannel channel = FileChannel.open(lockPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            FileLock fileLock;
+            try {
+                fileLock = channel.tryLock();
+            } catch (OverlappingFileLockException e) {
+                fileLock = null;
+            }
+            if (fileLock == null) {
+                channel.close();
+                throw new IllegalStateException("JWT密钥环已有其他轮换节点, 其余节点需配置 keyring.rotate=false: " + lockPath);
+            }
+            lockChannel = channel;
+        } catch (IOException e) {
+            throw new IllegalStateException("JWT密钥环锁文件打开失败: " + lockPath, e);
+        }
+    }
+
+    private List<KeyEntry> loadOrCreate() {
+        if (Files.exists(path)) {
+            return this.load();
+        }
+        if (!rotator) {
+            throw new IllegalStateException("JWT密钥环文件不存在, 需由轮换节点先行创建: " + path);
+        }
+        KeyEntry active = KeyEntry.generate(KeyEntry.ACTIVE);
+        active.setActivatedAt(System.currentTimeMillis());
+        List<KeyEntry> entries = List.of(active, KeyEntry.generate(KeyEntry.PENDING));
+        this.save(entries);
+        return entries;
+    }
+
+    /**
+     * @Description: 读取密钥环文件, 缺少ACTIVE密钥时直接失败, 不覆盖仍可能用于验证在途token的密钥
+     * @Return: 密钥列表
+     * @Author: lions
+     * @Datetime: 10/20/2026 10:15 AM
+     */
+    private List<KeyEntry> load() {
+        try {
+            FileTime modifiedTime = Files.getLastModifiedTime(path);
+            List<KeyEntry> entries = JSON.parseArray(Files.readString(path), KeyEntry.class);
+            if (entries == null || entries.stream().noneMatch(e -> KeyEntry.ACTIVE.equals(e.getStatus()))) {
+                throw new IllegalStateException("JWT密钥环文件缺少ACTIVE密钥: " + path);
+            }
+            loadedModifiedTime = modifiedTime;
+            return entries;
+        } catch (IOException e) {
+            throw new IllegalStateException("JWT密钥环读取失败: " + path, e);
+        }
+    }
+
+    /**
+     * @Description: 持久化密钥环, 先写临时文件再原子替换
+     * @param entries 密钥列表
+     * @Author: lions
+     * @Datetime: 10/19/2026 2:20 PM
+     */
+    private void save(List<KeyEntry> entries) {
+        try {
+            this.createParentDirectory();
+            Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+            // 写入私钥前就以仅属主可读写的权限创建临时文件
+            Files.deleteIfExists(tmp);
+            if (isPosix()) {
+                Files.createFile(tmp, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------")));
+            } else {
+                Files.createFile(tmp);
+            }
+            Files.writeString(tmp, JSON.toJSONString(entries, JSONWriter.Feature.PrettyFormat));
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            loadedModifiedTime = Files.getLastModifiedTime(path);
+        } catch (IOException e) {
+            throw new IllegalStateException("JWT密钥环写入失败: " + path, e);
+        }
+    }
+
+    private void createParentDirectory() throws IOException {
+        Path parent = path.getParent();
+        if (parent == null || Files.isDirectory(parent)) {
+            return;
+        }
+        if (isPosix()) {
+            Files.createDirectories(parent,
+                    PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwx------")));
+        } else {
+            Files.createDirectories(parent);
+        }
+    }
+
+    private boolean isPosix() {
+        return path.getFileSystem().supportedFileAttributeViews().contains("posix");
+    }
+
+    /**
+     * JWKS响应体及其ETag
+     */
+    public record Jwks(String json, String etag) {
+
+        static Jwks of(List<Map<String, Object>> keys) {
+            String json = JSON.toJSONString(Map.of("keys", keys));
+            try {
+                byte[] digest = MessageDigest.getInstance("SHA-256").digest(json.getBytes(StandardCharsets.UTF_8));
+                return new Jwks(json, "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"");
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    /**
+     * 不可变的密钥环快照, 轮换时整体替换, 签名与验证路径无锁读取
+     */
+    private static final class Snapshot {
+
+        private final List<KeyEntry> entries;
+
+        private final String kid;
+
+        private final long activatedAt;
+
+        private final Algorithm signer;
+
+        private final JWTVerifier hmacVerifier;
+
+        private final Map<String, JWTVerifier> verifiers;
+
+        private final Jwks jwks;
+
+        private Snapshot(List<KeyEntry> entries, String kid, long activatedAt, Algorithm signer,
+                         JWTVerifier hmacVerifier, Map<String, JWTVerifier> verifiers, Jwks jwks) {
+            this.entries = entries;
+            this.kid = kid;
+            this.activatedAt = activatedAt;
+            this.signer = signer;
+            this.hmacVerifier = hmacVerifier;
+            this.verifiers = verifiers;
+            this.jwks = jwks;
+        }
+
+        static Snapshot hmac(Algorithm algorithm) {
+            return new Snapshot(List.of(), null, 0L, algorithm, JWT.require(algorithm).build(),
+                    Map.of(), Jwks.of(List.of()));
+        }
+
+        static Snapshot of(List<KeyEntry> entries) {
+            KeyEntry active = null;
+            Map<String, JWTVerifier> verifiers = new HashMap<>();
+            List<Map<String, Object>> keys = new ArrayList<>();
+            for (KeyEntry entry : entries) {
+                KeyPair keyPair = entry.toKeyPair();
+                ECPublicKey publicKey = (ECPublicKey) keyPair.getPublic();
+                verifiers.put(entry.getKid(), JWT.require(Algorithm.ECDSA256(publicKey, null)).build());
+                keys.add(toJwk(entry.getKid(), publicKey));
+                if (KeyEntry.ACTIVE.equals(entry.getStatus())) {
+                    active = entry;
+                }
+            }
+            if (active == null) {
+                throw new IllegalStateException("JWT密钥环缺少ACTIVE密钥");
+            }
+            KeyPair activeKeyPair = active.toKeyPair();
+            Algorithm signer = Algorithm.ECDSA256(
+                    (ECPublicKey) activeKeyPair.getPublic(), (ECPrivateKey) activeKeyPair.getPrivate());
+            return new Snapshot(List.copyOf(entries), active.getKid(), active.getActivatedAt(), signer, null,
+                    Map.copyOf(verifiers), Jwks.of(keys));
+        }
+
+        private static Map<String, Object> toJwk(String kid, ECPublicKey publicKey) {
+            Map<String, Object> jwk = new LinkedHashMap<>();
+            jwk.put("kty", "EC");
+            jwk.put("crv", "P-256");
+            jwk.put("use", "sig");
+            jwk.put("alg", ES256);
+            jwk.put("kid", kid);
+            jwk.put("x", toCoordinate(publicKey.getW().getAffineX()));
+            jwk.put("y", toCoordinate(publicKey.getW().getAffineY()));
+            return jwk;
+        }
+
+        private static String toCoordinate(BigInteger value) {
+            // 坐标固定为32字节无符号大端序
+            byte[] bytes = value.toByteArray();
+            byte[] fixed = new byte[32];
+            int length = Math.min(bytes.length, 32);
+            System.arraycopy(bytes, bytes.length - length, fixed, 32 - length, length);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(fixed);
+        }
+    }
+
+    /**
+     * 持久化的密钥条目, 密钥以Base64(X.509/PKCS#8)编码保存
+     */
+    @Getter
+    @Setter
+    public static class KeyEntry {
+
+        static final String PENDING = "PENDING";
+
+        static final String ACTIVE = "ACTIVE";
+
+        static final String RETIRED = "RETIRED";
+
+        private String kid;
+
+        private String status;
+
+        private String publicKey;
+
+        private String privateKey;
+
+        private long activatedAt;
+
+        private long retiredAt;
+
+        static KeyEntry generate(String status) {
+            try {
+                KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+                generator.initialize(new ECGenParameterSpec("secp256r1"));
+                KeyPair keyPair = generator.generateKeyPair();
+                KeyEntry entry = new KeyEntry();
+                entry.setKid(UUID.randomUUID().toString());
+                entry.setStatus(status);
+                entry.setPublicKey(Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded()));
+                entry.setPrivateKey(Base64.getEncoder().encodeToString(keyPair.getPrivate().getEncoded()));
+                return entry;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("JWT签名密钥生成失败", e);
+            }
+        }
+
+        KeyPair toKeyPair() {
+            try {
+                KeyFactory keyFactory = KeyFactory.getInstance("EC");
+                return new KeyPair(
+                        keyFactory.generatePublic(new X509EncodedKeySpec(Base64.getDecoder().decode(publicKey))),
+                        keyFactory.generatePrivate(new PKCS8EncodedKeySpec(Base64.getDecoder().decode(privateKey))));
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("JWT签名密钥解析失败: " + kid, e);
+            }
+        }
+
+        KeyEntry copy() {
+            KeyEntry copy = new KeyEntry();
+            copy.setKid(kid);
+            copy.setStatus(status);
+            copy.setPublicKey(publicKey);
+            copy.setPrivateKey(privateKey);
+            copy.setActivatedAt(activatedAt);
+            copy.setRetiredAt(retiredAt);
+            return copy;
+        }
+    }
+}
@@ -2,21 +2,18 @@ package org.gzu.adminbackend.util;
 
 import com.auth0.jwt.JWT;
 import com.auth0.jwt.JWTVerifier;
-import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTVerificationException;
 import com.auth0.jwt.interfaces.Claim;
 import com.auth0.jwt.interfaces.DecodedJWT;
 import jakarta.annotation.Resource;
-import org.gzu.adminbackend.costant.RedisConstant;
+import org.gzu.adminbackend.service.RevocationStore;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import java.util.*;
-import java.util.concurrent.TimeUnit;
 
 /**
  * @description JWT工具类
@@ -27,14 +24,14 @@ import java.util.concurrent.TimeUnit;
 @Component
 public class JwtUtil {
 
-    @Value("${spring.security.jwt.secretkey}")
-    String secretKey;
-
     @Value("${spring.security.jwt.expire}")
     int expire;
 
     @Resource
-    StringRedisTemplate stringRedisTemplate;
+    RevocationStore revocationStore;
+
+    @Resource
+    JwtKeyring jwtKeyring;
 
     /**
      * @Description: 签发JWT
@@ -46,20 +43,18 @@ public class JwtUtil {
      * @Datetime: 1/16/2024 10:57 PM
      */
     public String createJwt(UserDetails userDetails, int id, String username) {
-        Algorithm algorithm = Algorithm.HMAC256(secretKey);
         List<String> authorities = userDetails.getAuthorities().stream()
                 .map(GrantedAuthority::getAuthority)
                 .toList();
         Date expireTime = expireTime();
 
-        return JWT.create()
+        return jwtKeyring.sign(JWT.create()
                 .withJWTId(UUID.randomUUID().toString())
                 .withClaim("id", id)
                 .withClaim("name", username)
                 .withClaim("authorities", authorities)
                 .withExpiresAt(expireTime)
-                .withIssuedAt(new Date())
-                .sign(algorithm);
+                .withIssuedAt(new Date()));
     }
 
     /**
@@ -74,10 +69,11 @@ public class JwtUtil {
         if (token == null) {
             return null;
         }
-        Algorithm algorithm = Algorithm.HMAC256(secretKey);
-        JWTVerifier jwtVerifier = JWT.require(algorithm).build();
         try {
-            DecodedJWT decodedJWT = jwtVerifier.verify(token);
+            DecodedJWT decodedJWT = this.verify(token);
+            if (decodedJWT == null) {
+                return null;
+            }
             String jwtId = decodedJWT.getId();
             if (!this.isValidJwt(jwtId)) {
                 return null;
@@ -90,7 +86,20 @@ public class JwtUtil {
     }
 
     /**
-     * @Description: 将JWT加入Redis黑名单
+     * @Description: 按kid选择缓存的验证器校验签名
+     * @param token JWT
+     * @Return: 解码后JWT, kid未知时返回null
+     * @Author: lions
+     * @Datetime: 10/19/2026 2:30 PM
+     */
+    private DecodedJWT verify(String token) {
+        DecodedJWT decodedJWT = JWT.decode(token);
+        JWTVerifier jwtVerifier = jwtKeyring.verifier(decodedJWT.getKeyId());
+        return jwtVerifier == null ? null : jwtVerifier.verify(decodedJWT);
+    }
+
+    /**
+     * @Description: 将JWT加入黑名单
      * @param headerJwt 请求头中的jwt
      * @Return: 是否加入成功
      * @Author: lions
@@ -101,10 +110,11 @@ public class JwtUtil {
         if (convertedToken == null) {
             return false;
         }
-        Algorithm algorithm = Algorithm.HMAC256(secretKey);
-        JWTVerifier jwtVerifier = JWT.require(algorithm).build();
         try {
-            DecodedJWT decodedJWT = jwtVerifier.verify(convertedToken);
+            DecodedJWT decodedJWT = this.verify(convertedToken);
+            if (decodedJWT == null) {
+                return false;
+            }
             String jwtId = decodedJWT.getId();
             Date expiresAt = decodedJWT.getExpiresAt();
             return doExpireJwt(jwtId, expiresAt);
@@ -114,9 +124,9 @@ public class JwtUtil {
     }
 
     /**
-     * @Description: 将JWT加入Redis黑名单的具体实现
+     * @Description: 将JWT加入黑名单的具体实现
      * @param jwtId jwt的id
-     * @param time redis中的过期时间
+     * @param time 黑名单记录的过期时间
      * @Return: 是否执行成功
      * @Author: lions
      * @Datetime: 1/17/2024 1:11 AM
@@ -125,10 +135,7 @@ public class JwtUtil {
         if (!this.isValidJwt(jwtId)) {
             return false;
         }
-        Date now = new Date();
-        long expire = Math.max(0, time.getTime() - now.getTime());
-        stringRedisTemplate.opsForValue()
-                .set(RedisConstant.JWT_BLACK_LIST_PREFIX + jwtId, "sth", expire, TimeUnit.MILLISECONDS);
+        revocationStore.revoke(jwtId, time);
         return true;
     }
 
@@ -140,7 +147,7 @@ public class JwtUtil {
      * @Datetime: 1/17/2024 12:58 AM
      */
     private boolean isValidJwt(String jwtId) {
-        return !Boolean.TRUE.equals(stringRedisTemplate.hasKey(RedisConstant.JWT_BLACK_LIST_PREFIX + jwtId));
+        return !revocationStore.isRevoked(jwtId);
     }
 
     /**
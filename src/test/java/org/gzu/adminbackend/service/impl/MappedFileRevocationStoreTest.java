@@ -0,0 +1,136 @@
+package org.gzu.adminbackend.service.impl;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @description TODO
+ * @classname MappedFileRevocationStoreTest
+ * @date 10/19/2026 11:02 AM
+ * @created by LIONS7
+ */
+public class MappedFileRevocationStoreTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void revokeSurvivesRestart() throws Exception {
+        String file = dir.resolve("revocation.dat").toString();
+        Date future = new Date(System.currentTimeMillis() + 60_000);
+
+        MappedFileRevocationStore store = new MappedFileRevocationStore(file, 16);
+        store.revoke("jti-1", future);
+        assertTrue(store.isRevoked("jti-1"));
+        assertFalse(store.isRevoked("jti-2"));
+        store.close();
+
+        MappedFileRevocationStore reopened = new MappedFileRevocationStore(file, 16);
+        assertTrue(reopened.isRevoked("jti-1"));
+        assertFalse(reopened.isRevoked("jti-2"));
+        reopened.close();
+    }
+
+    @Test
+    public void growAndCompact() throws Exception {
+        MappedFileRevocationStore store = new MappedFileRevocationStore(dir.resolve("revocation.dat").toString(), 16);
+        Date past = new Date(System.currentTimeMillis() - 1);
+        Date future = new Date(System.currentTimeMillis() + 60_000);
+        List<String> live = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            String jwtId = UUID.randomUUID().toString();
+            if (i % 2 == 0) {
+                live.add(jwtId);
+                store.revoke(jwtId, future);
+            } else {
+                store.revoke(jwtId, past);
+                assertFalse(store.isRevoked(jwtId));
+            }
+        }
+        store.compact();
+        assertEquals(live.size(), store.size());
+        for (String jwtId : live) {
+            assertTrue(store.isRevoked(jwtId));
+        }
+        store.close();
+    }
+
+    @Test
+    public void compactWrappedProbeChain() throws Exception {
+        MappedFileRevocationStore store = new MappedFileRevocationStore(dir.resolve("revocation.dat").toString(), 16);
+        int mask = store.capacity() - 1;
+        // expired与wrapped的起始槽位都是最后一个槽, wrapped绕回到0号槽, home0再被挤到1号槽
+        String expired = jwtIdWithHome(mask, mask, 0);
+        String wrapped = jwtIdWithHome(mask, mask, 1);
+        String home0 = jwtIdWithHome(mask, 0, 0);
+        store.revoke(expired, new Date(System.currentTimeMillis() - 1));
+        store.revoke(wrapped, new Date(System.currentTimeMillis() + 60_000));
+        store.revoke(home0, new Date(System.currentTimeMillis() + 60_000));
+
+        store.compact();
+        assertEquals(2, store.size());
+        assertFalse(store.isRevoked(expired));
+        assertTrue(store.isRevoked(wrapped));
+        assertTrue(store.isRevoked(home0));
+        store.close();
+    }
+
+    @Test
+    public void growsInsteadOfCompactingAtThreshold() throws Exception {
+        MappedFileRevocationStore store = new MappedFileRevocationStore(dir.resolve("revocation.dat").toString(), 16);
+        Date future = new Date(System.currentTimeMillis() + 60_000);
+        List<String> live = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            String jwtId = UUID.randomUUID().toString();
+            live.add(jwtId);
+            store.revoke(jwtId, future);
+        }
+        // 阈值附近持续有少量记录过期, 清理只能腾出一个槽位, 应扩容而不是每次写入都全表清理
+        for (int i = 0; i < 20; i++) {
+            store.revoke(UUID.randomUUID().toString(), new Date(System.currentTimeMillis() - 1));
+        }
+        assertTrue(store.capacity() > 16);
+        for (String jwtId : live) {
+            assertTrue(store.isRevoked(jwtId));
+        }
+        store.close();
+    }
+
+    @Test
+    public void secondOpenFailsFast() throws Exception {
+        String file = dir.resolve("revocation.dat").toString();
+        MappedFileRevocationStore store = new MappedFileRevocationStore(file, 16);
+        assertThrows(IllegalStateException.class, () -> new MappedFileRevocationStore(file, 16));
+        store.close();
+    }
+
+    @Test
+    public void compactFlushesNewRevocations() throws Exception {
+        MappedFileRevocationStore store = new MappedFileRevocationStore(dir.resolve("revocation.dat").toString(), 16);
+        assertFalse(store.dirty());
+        store.revoke("jti-1", new Date(System.currentTimeMillis() + 60_000));
+        assertTrue(store.dirty());
+        // 没有过期记录可清理时也要刷盘
+        store.compact();
+        assertFalse(store.dirty());
+        assertEquals(1, store.size());
+        store.close();
+    }
+
+    private static String jwtIdWithHome(int mask, int home, int skip) {
+        for (int i = 0; ; i++) {
+            String jwtId = "jti-" + i;
+            if (((int) MappedFileRevocationStore.hash(jwtId) & mask) == home && skip-- == 0) {
+                return jwtId;
+            }
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package org.gzu.adminbackend.service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @description TODO
+ * @classname MemoryRevocationStoreTest
+ * @date 10/20/2026 9:50 AM
+ * @created by LIONS7
+ */
+public class MemoryRevocationStoreTest {
+
+    @Test
+    public void expiredEntriesArePurged() {
+        MemoryRevocationStore store = new MemoryRevocationStore();
+        store.revoke("live", new Date(System.currentTimeMillis() + 60_000));
+        store.revoke("expired", new Date(System.currentTimeMillis() - 1));
+        assertTrue(store.isRevoked("live"));
+        assertFalse(store.isRevoked("expired"));
+
+        store.purgeExpired();
+        assertFalse(store.contains("expired"));
+        assertTrue(store.contains("live"));
+    }
+}
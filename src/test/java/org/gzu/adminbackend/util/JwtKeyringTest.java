@@ -0,0 +1,157 @@
+package org.gzu.adminbackend.util;
+
+import com.alibaba.fastjson2.JSON;
+import com.alibaba.fastjson2.JSONObject;
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @description TODO
+ * @classname JwtKeyringTest
+ * @date 10/19/2026 2:50 PM
+ * @created by LIONS7
+ */
+public class JwtKeyringTest {
+
+    private static final long DAY = 86_400_000L;
+
+    private static final long CHECK_INTERVAL = 60_000L;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void rotationKeepsInFlightTokensValid() throws Exception {
+        String path = dir.resolve("keyring.json").toString();
+        JwtKeyring keyring = es256(path, DAY, true);
+        String token = keyring.sign(JWT.create().withClaim("name", "lions"));
+        DecodedJWT decoded = JWT.decode(token);
+        assertEquals(JwtKeyring.ES256, decoded.getAlgorithm());
+        assertNotNull(decoded.getKeyId());
+
+        String etag = keyring.jwks().etag();
+        keyring.rotate();
+        assertNotEquals(etag, keyring.jwks().etag());
+        String rotated = keyring.sign(JWT.create().withClaim("name", "lions"));
+        assertNotEquals(decoded.getKeyId(), JWT.decode(rotated).getKeyId());
+        // 退役密钥仍可验证在途token
+        assertNotNull(keyring.verifier(decoded.getKeyId()).verify(decoded));
+        keyring.close();
+
+        JwtKeyring reloaded = es256(path, DAY, true);
+        assertNotNull(reloaded.verifier(decoded.getKeyId()).verify(token));
+        assertNotNull(reloaded.verifier(JWT.decode(rotated).getKeyId()).verify(rotated));
+        assertEquals(3, JSON.parseObject(reloaded.jwks().json()).getJSONArray("keys").size());
+        reloaded.close();
+    }
+
+    @Test
+    public void hmacModePublishesNoKeys() {
+        JwtKeyring keyring = new JwtKeyring(JwtKeyring.HS256, "asdf", 7,
+                dir.resolve("keyring.json").toString(), DAY, CHECK_INTERVAL, true);
+        String token = keyring.sign(JWT.create().withClaim("name", "lions"));
+        assertNull(JWT.decode(token).getKeyId());
+        assertNotNull(keyring.verifier(null).verify(token));
+        assertEquals(0, JSON.parseObject(keyring.jwks().json()).getJSONArray("keys").size());
+    }
+
+    @Test
+    public void overdueKeyRotatesAtStartup() throws Exception {
+        String path = dir.resolve("keyring.json").toString();
+        JwtKeyring keyring = es256(path, 50, true);
+        String kid = JWT.decode(keyring.sign(JWT.create())).getKeyId();
+        keyring.close();
+        Thread.sleep(60);
+        JwtKeyring restarted = es256(path, 50, true);
+        assertNotEquals(kid, JWT.decode(restarted.sign(JWT.create())).getKeyId());
+        restarted.close();
+    }
+
+    @Test
+    public void followerReloadsRotatedKeyring() throws Exception {
+        String path = dir.resolve("keyring.json").toString();
+        JwtKeyring leader = es256(path, DAY, true);
+        JwtKeyring follower = es256(path, DAY, false);
+        assertThrows(IllegalStateException.class, follower::rotate);
+
+        leader.rotate();
+        String token = leader.sign(JWT.create().withClaim("name", "lions"));
+        follower.refresh();
+        assertEquals(leader.jwks().etag(), follower.jwks().etag());
+        assertNotNull(follower.verifier(JWT.decode(token).getKeyId()).verify(token));
+        assertEquals(JWT.decode(token).getKeyId(), JWT.decode(follower.sign(JWT.create())).getKeyId());
+        leader.close();
+    }
+
+    @Test
+    public void secondRotatorFailsFast() throws Exception {
+        String path = dir.resolve("keyring.json").toString();
+        JwtKeyring leader = es256(path, DAY, true);
+        assertThrows(IllegalStateException.class, () -> es256(path, DAY, true));
+        leader.close();
+        es256(path, DAY, true).close();
+    }
+
+    @Test
+    public void missingActiveKeyFailsInsteadOfOverwriting() throws Exception {
+        Path path = dir.resolve("keyring.json");
+        es256(path.toString(), DAY, true).close();
+        String content = Files.readString(path).replace("\"ACTIVE\"", "\"RETIRED\"");
+        Files.writeString(path, content);
+        assertThrows(IllegalStateException.class, () -> es256(path.toString(), DAY, true));
+        assertEquals(content, Files.readString(path));
+    }
+
+    @Test
+    public void missingPendingKeyStillRotatesToActive() throws Exception {
+        Path path = dir.resolve("keyring.json");
+        es256(path.toString(), DAY, true).close();
+        List<JSONObject> entries = JSON.parseArray(Files.readString(path), JSONObject.class);
+        entries.removeIf(e -> "PENDING".equals(e.getString("status")));
+        Files.writeString(path, JSON.toJSONString(entries));
+
+        JwtKeyring keyring = es256(path.toString(), DAY, true);
+        String kid = JWT.decode(keyring.sign(JWT.create())).getKeyId();
+        keyring.rotate();
+        String rotated = keyring.sign(JWT.create());
+        assertNotEquals(kid, JWT.decode(rotated).getKeyId());
+        keyring.close();
+
+        JwtKeyring reloaded = es256(path.toString(), DAY, true);
+        assertNotNull(reloaded.verifier(JWT.decode(rotated).getKeyId()).verify(rotated));
+        reloaded.close();
+    }
+
+    @Test
+    public void keyringFileIsOwnerOnly() throws Exception {
+        Path path = dir.resolve("data").resolve("keyring.json");
+        Files.createDirectories(path.getParent());
+        // 残留的临时文件不能沿用其宽松权限
+        Path tmp = path.resolveSibling("keyring.json.tmp");
+        Files.createFile(tmp, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-r--r--")));
+        JwtKeyring keyring = es256(path.toString(), DAY, true);
+        keyring.rotate();
+        assertEquals("rw-------", PosixFilePermissions.toString(Files.getPosixFilePermissions(path)));
+        keyring.close();
+    }
+
+    @Test
+    public void privateKeyIsNotPrinted() {
+        JwtKeyring.KeyEntry entry = new JwtKeyring.KeyEntry();
+        entry.setPrivateKey("secret-private-key");
+        assertFalse(entry.toString().contains("secret-private-key"));
+    }
+
+    private static JwtKeyring es256(String path, long rotateInterval, boolean rotator) {
+        return new JwtKeyring(JwtKeyring.ES256, "unused", 7, path, rotateInterval, CHECK_INTERVAL, rotator);
+    }
+}